@@ -0,0 +1,249 @@
+package com.mahendra.catalog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.mahendra.models.Main;
+import com.mahendra.models.Product;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves the demo-io product catalog over HTTP using the JDK HttpServer.
+ *
+ * GET /products/{id}                                                   single product
+ * GET /products/expiring?from=yyyy-MM-dd&to=yyyy-MM-dd&page=0&size=50  products expiring in the range
+ * GET /products?page=0&size=50                                        paginated listing in id order
+ *
+ * Pages hold at most MAX_PAGE_SIZE products; a page past the end is a 404.
+ * Every response body is serialized once and kept in a ResponseCache together with
+ * its ETag; a request whose If-None-Match matches it (weak comparison) gets a 304 with no body.
+ *
+ * Run: java -cp target/classes com.mahendra.catalog.CatalogServer [port] [csv resource]
+ */
+public class CatalogServer {
+	static final int MAX_PAGE_SIZE = 500;
+	static final long MAX_CACHED_QUERY_BYTES = 32L * 1024 * 1024;
+
+	private static final byte[] NOT_FOUND = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+
+	private final ProductCatalog catalog;
+	private final ResponseCache cache;
+
+	public CatalogServer(ProductCatalog catalog) {
+		this.catalog = catalog;
+		this.cache = new ResponseCache(MAX_CACHED_QUERY_BYTES);
+		for (Product p : catalog.all()) {
+			cache.put("id:" + p.getProductId(), ProductCatalog.toJson(p));
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+		String resource = args.length > 1 ? args[1] : "/products-large.csv";
+		// Small responses: don't let Nagle's algorithm hold them back
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+
+		URL data = CatalogServer.class.getResource(resource);
+		if (data == null) {
+			System.out.println("Error : resource not found " + resource);
+			return;
+		}
+		long startTime = System.nanoTime();
+		List<Product> products = Main.loadWithNIO(data.toURI());
+		CatalogServer catalogServer = new CatalogServer(new ProductCatalog(products));
+		System.out.printf("Loaded and pre-serialized %d products in %.2f ms\n", products.size(),
+				(System.nanoTime() - startTime) / 1_000_000.0);
+
+		HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+		server.createContext("/products", catalogServer::handle);
+		server.setExecutor(newRequestExecutor());
+		server.start();
+		System.out.println("Catalog service listening on http://localhost:" + port + "/products");
+	}
+
+	// Virtual threads (Java 21+) when the runtime has them, otherwise a cached platform pool.
+	// Looked up reflectively so the module still builds with the Java 17 compiler settings.
+	public static ExecutorService newRequestExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException ex) {
+			System.out.println("Virtual threads not available, using a cached thread pool");
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	void handle(HttpExchange exchange) throws IOException {
+		try {
+			if (!"GET".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "GET");
+				exchange.sendResponseHeaders(405, -1);
+				return;
+			}
+			ResponseCache.CachedResponse response = route(exchange.getRequestURI().getPath(),
+					parseQuery(exchange.getRequestURI().getRawQuery()));
+			if (response == null) {
+				send(exchange, 404, NOT_FOUND);
+				return;
+			}
+			exchange.getResponseHeaders().set("ETag", response.etag);
+			exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+			if (matchesIfNoneMatch(exchange.getRequestHeaders().get("If-None-Match"), response.etag)) {
+				exchange.sendResponseHeaders(304, -1);
+				return;
+			}
+			send(exchange, 200, response.body);
+		} catch (IllegalArgumentException ex) {
+			send(exchange, 400, ("{\"error\":\"" + ex.getMessage() + "\"}").getBytes(StandardCharsets.UTF_8));
+		} finally {
+			exchange.close();
+		}
+	}
+
+	// Returns null when the path does not name a resource
+	ResponseCache.CachedResponse route(String path, Map<String, String> query) {
+		if (path.equals("/products") || path.equals("/products/")) {
+			int page = intParam(query, "page", 0);
+			int size = pageSizeParam(query);
+			if (isPastEnd(page, size, catalog.size())) {
+				return null;
+			}
+			return cache.get("page:" + page + ":" + size, () -> {
+				Map<String, Object> meta = new LinkedHashMap<>();
+				meta.put("page", page);
+				meta.put("size", size);
+				meta.put("total", catalog.size());
+				return ProductCatalog.toJson(catalog.page(page, size), meta);
+			});
+		}
+		if (path.equals("/products/expiring")) {
+			String from = dateParam(query, "from");
+			String to = dateParam(query, "to");
+			int page = intParam(query, "page", 0);
+			int size = pageSizeParam(query);
+			List<Product> products = catalog.findExpiringBetween(from, to);
+			if (isPastEnd(page, size, products.size())) {
+				return null;
+			}
+			return cache.get("expiring:" + from + ":" + to + ":" + page + ":" + size, () -> {
+				Map<String, Object> meta = new LinkedHashMap<>();
+				meta.put("from", from);
+				meta.put("to", to);
+				meta.put("page", page);
+				meta.put("size", size);
+				meta.put("total", products.size());
+				return ProductCatalog.toJson(ProductCatalog.page(products, page, size), meta);
+			});
+		}
+		if (path.startsWith("/products/")) {
+			int id;
+			try {
+				id = Integer.parseInt(path.substring("/products/".length()));
+			} catch (NumberFormatException ex) {
+				return null;
+			}
+			// All products were cached at startup, so a miss means an unknown id
+			return catalog.findById(id) == null ? null
+					: cache.get("id:" + id, () -> ProductCatalog.toJson(catalog.findById(id)));
+		}
+		return null;
+	}
+
+	// Page 0 always exists (possibly empty); any other page must start before the end
+	private static boolean isPastEnd(int page, int size, int total) {
+		if (page < 0) {
+			throw new IllegalArgumentException("page must be >= 0");
+		}
+		return page > 0 && (long) page * size >= total;
+	}
+
+	// RFC 9110 If-None-Match: "*" or a comma-separated list of entity tags, compared weakly
+	static boolean matchesIfNoneMatch(List<String> headers, String etag) {
+		if (headers == null) {
+			return false;
+		}
+		String opaque = stripWeak(etag);
+		for (String header : headers) {
+			for (String tag : header.split(",")) {
+				tag = tag.trim();
+				if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static String stripWeak(String tag) {
+		return tag.startsWith("W/") ? tag.substring(2) : tag;
+	}
+
+	private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> params = new HashMap<>();
+		if (rawQuery == null) {
+			return params;
+		}
+		for (String pair : rawQuery.split("&")) {
+			int eq = pair.indexOf('=');
+			if (eq > 0) {
+				try {
+					params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+							URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+				} catch (IllegalArgumentException ex) {
+					throw new IllegalArgumentException("malformed query string");
+				}
+			}
+		}
+		return params;
+	}
+
+	private static int intParam(Map<String, String> query, String name, int defaultValue) {
+		String value = query.get(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException(name + " must be a number");
+		}
+	}
+
+	private static int pageSizeParam(Map<String, String> query) {
+		int size = intParam(query, "size", 50);
+		if (size < 1 || size > MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		return size;
+	}
+
+	// Normalizes through LocalDate so equal dates share one cache key
+	private static String dateParam(Map<String, String> query, String name) {
+		String value = query.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException(name + " is required (yyyy-MM-dd)");
+		}
+		try {
+			return LocalDate.parse(value).toString();
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException(name + " must be yyyy-MM-dd");
+		}
+	}
+}
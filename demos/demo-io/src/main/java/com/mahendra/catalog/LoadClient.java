@@ -0,0 +1,161 @@
+package com.mahendra.catalog;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Closed-loop load generator for CatalogServer: each worker sends a request, waits
+ * for the answer and sends the next one, until the duration is up.
+ *
+ * Run: java -cp target/classes com.mahendra.catalog.LoadClient [baseUrl] [workers] [seconds] [maxId] [revalidate]
+ *
+ * Ids are drawn uniformly from 1..maxId, so a small maxId acts as a hot set. With
+ * revalidate=true the ETags seen by any worker are shared and replayed as If-None-Match,
+ * so repeated lookups are answered with 304 Not Modified.
+ *
+ * Throughput and latency cover successful responses (200 and 304) only; other statuses
+ * and I/O failures are reported as separate counts.
+ */
+public class LoadClient {
+
+	public static void main(String[] args) throws Exception {
+		String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+		int workers = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		int maxId = args.length > 3 ? Integer.parseInt(args[3]) : 50_000;
+		boolean revalidate = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+		ExecutorService executor = CatalogServer.newRequestExecutor();
+		HttpClient client = HttpClient.newBuilder()
+				.executor(executor)
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+
+		Map<Integer, String> etags = revalidate ? new ConcurrentHashMap<>() : null;
+
+		System.out.printf("Warming up for 2 s with %d workers...\n", workers);
+		run(client, executor, baseUrl, workers, 2, maxId, etags);
+
+		System.out.printf("Measuring for %d s...\n", seconds);
+		long startTime = System.nanoTime();
+		List<Worker> results = run(client, executor, baseUrl, workers, seconds, maxId, etags);
+		double elapsedSec = (System.nanoTime() - startTime) / 1_000_000_000.0;
+		executor.shutdownNow();
+
+		long ok = 0, notModified = 0, httpErrors = 0, failures = 0;
+		int count = 0;
+		for (Worker w : results) {
+			ok += w.ok;
+			notModified += w.notModified;
+			httpErrors += w.httpErrors;
+			failures += w.failures;
+			count += w.count;
+		}
+		long[] latencies = new long[count];
+		int pos = 0;
+		for (Worker w : results) {
+			System.arraycopy(w.latencies, 0, latencies, pos, w.count);
+			pos += w.count;
+		}
+		Arrays.sort(latencies);
+
+		System.out.printf("Successful: %d (200: %d, 304: %d), other status: %d, I/O failures: %d\n",
+				count, ok, notModified, httpErrors, failures);
+		System.out.printf("Throughput: %.0f successful requests/sec\n", count / elapsedSec);
+		System.out.printf("Latency p50: %.3f ms, p90: %.3f ms, p99: %.3f ms, max: %.3f ms\n",
+				percentile(latencies, 50), percentile(latencies, 90),
+				percentile(latencies, 99), percentile(latencies, 100));
+	}
+
+	private static List<Worker> run(HttpClient client, ExecutorService executor, String baseUrl, int workers,
+			int seconds, int maxId, Map<Integer, String> etags) throws InterruptedException, ExecutionException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		List<Future<Worker>> futures = new ArrayList<>();
+		for (int i = 0; i < workers; i++) {
+			futures.add(executor.submit(new Worker(client, baseUrl, maxId, etags, deadline)));
+		}
+		List<Worker> results = new ArrayList<>();
+		for (Future<Worker> f : futures) {
+			results.add(f.get());
+		}
+		return results;
+	}
+
+	private static double percentile(long[] sortedNanos, double p) {
+		if (sortedNanos.length == 0) return 0;
+		int rank = (int) Math.ceil(p / 100.0 * sortedNanos.length);
+		return sortedNanos[Math.max(0, rank - 1)] / 1_000_000.0;
+	}
+
+	// One closed-loop client; latencies of successful responses are kept in a growable
+	// primitive array per worker
+	static class Worker implements Callable<Worker> {
+		private final HttpClient client;
+		private final String baseUrl;
+		private final int maxId;
+		private final Map<Integer, String> etags; // shared by all workers, null unless revalidating
+		private final long deadline;
+
+		long[] latencies = new long[4096];
+		int count;
+		long ok, notModified, httpErrors, failures;
+
+		Worker(HttpClient client, String baseUrl, int maxId, Map<Integer, String> etags, long deadline) {
+			this.client = client;
+			this.baseUrl = baseUrl;
+			this.maxId = maxId;
+			this.etags = etags;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public Worker call() {
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			while (System.nanoTime() < deadline) {
+				int id = 1 + random.nextInt(maxId);
+				HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + "/products/" + id));
+				String etag = etags != null ? etags.get(id) : null;
+				if (etag != null) {
+					request.header("If-None-Match", etag);
+				}
+				long start = System.nanoTime();
+				try {
+					HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+					long elapsed = System.nanoTime() - start;
+					if (response.statusCode() == 200) {
+						record(elapsed);
+						ok++;
+						if (etags != null) {
+							response.headers().firstValue("ETag").ifPresent(tag -> etags.put(id, tag));
+						}
+					} else if (response.statusCode() == 304) {
+						record(elapsed);
+						notModified++;
+					} else {
+						httpErrors++;
+					}
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					failures++;
+					break;
+				} catch (Exception ex) {
+					failures++;
+				}
+			}
+			return this;
+		}
+
+		private void record(long nanos) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+		}
+	}
+}
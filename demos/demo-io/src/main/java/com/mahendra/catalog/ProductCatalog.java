@@ -0,0 +1,132 @@
+package com.mahendra.catalog;
+
+import java.util.*;
+
+import com.mahendra.models.Product;
+
+// Read-only, in-memory indexes over the loaded products.
+// Nothing is mutated after construction, so lookups need no locking.
+public class ProductCatalog {
+	private final Product[] byId; // sorted by productId
+	private final Product[] byExpiry; // sorted by expiryDate (ISO dates compare as strings)
+	private final Map<Integer, Product> idIndex;
+
+	public ProductCatalog(List<Product> products) {
+		byId = products.toArray(new Product[0]);
+		Arrays.sort(byId, Comparator.comparingInt(Product::getProductId));
+		byExpiry = byId.clone();
+		Arrays.sort(byExpiry, Comparator.comparing(Product::getExpiryDate));
+		idIndex = new HashMap<>(byId.length * 2);
+		for (Product p : byId) {
+			idIndex.put(p.getProductId(), p);
+		}
+	}
+
+	public int size() {
+		return byId.length;
+	}
+
+	public Collection<Product> all() {
+		return Arrays.asList(byId);
+	}
+
+	public Product findById(int id) {
+		return idIndex.get(id);
+	}
+
+	// Products with from <= expiryDate <= to, both bounds inclusive
+	public List<Product> findExpiringBetween(String from, String to) {
+		int start = firstIndexAfter(from, false);
+		int end = Math.max(start, firstIndexAfter(to, true));
+		return Arrays.asList(byExpiry).subList(start, end);
+	}
+
+	// Zero-based page of products in id order
+	public List<Product> page(int page, int size) {
+		return page(Arrays.asList(byId), page, size);
+	}
+
+	// Zero-based page of any product list; empty when the page is past the end
+	public static List<Product> page(List<Product> products, int page, int size) {
+		int start = (int) Math.min((long) page * size, products.size());
+		int end = (int) Math.min((long) start + size, products.size());
+		return products.subList(start, end);
+	}
+
+	// Binary search for the first index whose expiryDate is > date (inclusive=true)
+	// or >= date (inclusive=false)
+	private int firstIndexAfter(String date, boolean inclusive) {
+		int lo = 0, hi = byExpiry.length;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			int cmp = byExpiry[mid].getExpiryDate().compareTo(date);
+			if (cmp < 0 || (inclusive && cmp == 0)) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	public static String toJson(Product p) {
+		StringBuilder sb = new StringBuilder(160);
+		appendJson(sb, p);
+		return sb.toString();
+	}
+
+	public static String toJson(List<Product> products, Map<String, Object> meta) {
+		StringBuilder sb = new StringBuilder(64 + products.size() * 160);
+		sb.append('{');
+		for (Map.Entry<String, Object> e : meta.entrySet()) {
+			appendString(sb, e.getKey());
+			sb.append(':');
+			if (e.getValue() instanceof Number) {
+				sb.append(e.getValue());
+			} else {
+				appendString(sb, String.valueOf(e.getValue()));
+			}
+			sb.append(',');
+		}
+		sb.append("\"items\":[");
+		for (int i = 0; i < products.size(); i++) {
+			if (i > 0) sb.append(',');
+			appendJson(sb, products.get(i));
+		}
+		return sb.append("]}").toString();
+	}
+
+	private static void appendJson(StringBuilder sb, Product p) {
+		sb.append("{\"productId\":").append(p.getProductId());
+		sb.append(",\"name\":");
+		appendString(sb, p.getName());
+		sb.append(",\"description\":");
+		appendString(sb, p.getDescription());
+		sb.append(",\"manufactoringDate\":");
+		appendString(sb, p.getManufactoringDate());
+		sb.append(",\"expiryDate\":");
+		appendString(sb, p.getExpiryDate());
+		sb.append('}');
+	}
+
+	private static void appendString(StringBuilder sb, String s) {
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '"': sb.append("\\\""); break;
+				case '\\': sb.append("\\\\"); break;
+				case '\n': sb.append("\\n"); break;
+				case '\r': sb.append("\\r"); break;
+				case '\t': sb.append("\\t"); break;
+				default:
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+			}
+		}
+		sb.append('"');
+	}
+}
@@ -0,0 +1,87 @@
+package com.mahendra.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+// Keeps response bodies already serialized to bytes, so a cache hit is just a write.
+// Two tiers: entries warmed at startup (one per product) are pinned in a lock-free map;
+// query responses (ranges/pages), whose keys come from clients, go into an LRU bounded
+// by the total size of the bodies it holds.
+public class ResponseCache {
+
+	public static final class CachedResponse {
+		final byte[] body;
+		final String etag;
+
+		CachedResponse(byte[] body) {
+			this.body = body;
+			CRC32 crc = new CRC32();
+			crc.update(body);
+			this.etag = "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+		}
+	}
+
+	private final ConcurrentMap<String, CachedResponse> pinned = new ConcurrentHashMap<>();
+	// access-ordered, so iteration starts at the least recently used entry
+	private final LinkedHashMap<String, CachedResponse> lru = new LinkedHashMap<>(256, 0.75f, true);
+	private final long maxBytes;
+	private long bytes;
+
+	public ResponseCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	// Stores unconditionally and never evicts; used for warming the cache at startup
+	public void put(String key, String json) {
+		pinned.put(key, new CachedResponse(json.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	public CachedResponse get(String key, Supplier<String> json) {
+		CachedResponse cached = pinned.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		synchronized (lru) {
+			cached = lru.get(key);
+		}
+		if (cached != null) {
+			return cached;
+		}
+		// Serialize outside the lock; two threads missing on the same key both do the work once
+		CachedResponse fresh = new CachedResponse(json.get().getBytes(StandardCharsets.UTF_8));
+		if (fresh.body.length > maxBytes) {
+			return fresh;
+		}
+		synchronized (lru) {
+			CachedResponse previous = lru.put(key, fresh);
+			if (previous != null) {
+				bytes -= previous.body.length;
+			}
+			bytes += fresh.body.length;
+			Iterator<Map.Entry<String, CachedResponse>> eldest = lru.entrySet().iterator();
+			while (bytes > maxBytes && eldest.hasNext()) {
+				bytes -= eldest.next().getValue().body.length;
+				eldest.remove();
+			}
+		}
+		return fresh;
+	}
+
+	public int size() {
+		synchronized (lru) {
+			return pinned.size() + lru.size();
+		}
+	}
+
+	public long queryBytes() {
+		synchronized (lru) {
+			return bytes;
+		}
+	}
+}
@@ -15,6 +15,26 @@ public class Product {
         this.expiryDate = expiryDate;
     }
 
+    public int getProductId() {
+        return productId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getManufactoringDate() {
+        return manufactoringDate;
+    }
+
+    public String getExpiryDate() {
+        return expiryDate;
+    }
+
     @Override
     public String toString() {
         return productId + ", " + name + ", " + description + ", " + manufactoringDate + ", " + expiryDate;
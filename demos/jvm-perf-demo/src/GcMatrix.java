@@ -0,0 +1,302 @@
+package jvmperf;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a workload in child JVMs across a matrix of collectors, heap sizes and
+ * extra flags, then prints one comparison report.
+ *
+ * Usage:
+ *   java -cp out jvmperf.GcMatrix [options] <mainClass> [workload args...]
+ *
+ * Options:
+ *   --cp <classpath>   classpath of the workload (default: this JVM's classpath)
+ *   --gcs <list>       collectors: G1,Z,Parallel,Serial (default: all four)
+ *   --heaps <list>     heap sizes used for -Xms/-Xmx (default: 256m,1g)
+ *   --flags <list>     flag sets separated by ',', flags within a set by ' ',
+ *                      "none" for no extra flags
+ *                      (default: none,-XX:-UseCompressedOops,-XX:+UseStringDeduplication)
+ *   --runs <n>         repetitions per cell, the median successful run is reported (default: 3)
+ *   --stdin <text>     text fed to the workload's standard input (e.g. "yes")
+ *   --logs <dir>       where GC logs and workload output are kept (default: a new temp directory)
+ *   --out <file>       also write the report as CSV
+ *
+ * Runs that exit with a non-zero code are left out of the median; a cell where every
+ * run failed is reported as FAILED, with the child's output file to look at.
+ */
+public class GcMatrix {
+
+    // Matches lines like "GC(3) Pause Young (Normal) (G1 Evacuation Pause) 24M->2M(256M) 3.456ms"
+    // and the ZGC phase lines "GC(3) Pause Mark Start 0.012ms"
+    private static final Pattern PAUSE = Pattern.compile("\\bPause\\b.*?([0-9]+[.,][0-9]+)ms\\s*$");
+    private static final Pattern VM_HWM = Pattern.compile("VmHWM:\\s+(\\d+) kB");
+
+    private static final Map<String, String> COLLECTORS = new LinkedHashMap<>();
+    static {
+        COLLECTORS.put("G1", "-XX:+UseG1GC");
+        COLLECTORS.put("Z", "-XX:+UseZGC");
+        COLLECTORS.put("Parallel", "-XX:+UseParallelGC");
+        COLLECTORS.put("Serial", "-XX:+UseSerialGC");
+    }
+
+    public static void main(String[] args) throws Exception {
+        String classpath = System.getProperty("java.class.path");
+        List<String> gcs = new ArrayList<>(COLLECTORS.keySet());
+        List<String> heaps = Arrays.asList("256m", "1g");
+        List<String> flagSets = Arrays.asList("none", "-XX:-UseCompressedOops", "-XX:+UseStringDeduplication");
+        int runs = 3;
+        String stdin = null;
+        String out = null;
+        String logs = null;
+
+        int i = 0;
+        for (; i < args.length && args[i].startsWith("--"); i += 2) {
+            if (i + 1 >= args.length) usage("Missing value for " + args[i]);
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--cp": classpath = value; break;
+                case "--gcs": gcs = split(value); break;
+                case "--heaps": heaps = split(value); break;
+                case "--flags": flagSets = split(value); break;
+                case "--runs": runs = parseRuns(value); break;
+                case "--stdin": stdin = value; break;
+                case "--logs": logs = value; break;
+                case "--out": out = value; break;
+                default: usage("Unknown option " + args[i]);
+            }
+        }
+        if (i >= args.length) usage("Missing workload main class");
+        List<String> workload = Arrays.asList(args).subList(i, args.length);
+        for (String gc : gcs) {
+            if (!COLLECTORS.containsKey(gc)) usage("Unknown collector " + gc);
+        }
+
+        Path logDir = logs != null ? Files.createDirectories(Paths.get(logs)) : Files.createTempDirectory("gc-matrix");
+        System.out.println("GC logs and workload output: " + logDir.toAbsolutePath());
+        List<Result> results = new ArrayList<>();
+        for (String gc : gcs) {
+            for (String heap : heaps) {
+                for (String flags : flagSets) {
+                    System.out.printf("Running %s, heap %s, flags %s ...%n", gc, heap, flags);
+                    List<Result> ok = new ArrayList<>();
+                    Result lastFailed = null;
+                    for (int run = 0; run < runs; run++) {
+                        String name = results.size() + "-" + run + ".log";
+                        Result r = runOnce(classpath, workload, gc, heap, flags, stdin,
+                                logDir.resolve("gc-" + name), logDir.resolve("out-" + name));
+                        if (r.exitCode == 0) {
+                            ok.add(r);
+                        } else {
+                            lastFailed = r;
+                        }
+                    }
+                    Result cell;
+                    if (ok.isEmpty()) {
+                        cell = lastFailed;
+                    } else {
+                        ok.sort(Comparator.comparingDouble(r -> r.elapsedMs));
+                        cell = ok.get(ok.size() / 2);
+                    }
+                    cell.okRuns = ok.size();
+                    cell.totalRuns = runs;
+                    cell.lastFailed = lastFailed;
+                    results.add(cell);
+                }
+            }
+        }
+
+        printReport(results);
+        System.out.println("GC logs and workload output: " + logDir.toAbsolutePath());
+        if (out != null) {
+            writeCsv(results, out);
+            System.out.println("CSV report written to " + out);
+        }
+    }
+
+    private static Result runOnce(String classpath, List<String> workload, String gc, String heap,
+            String flags, String stdin, Path gcLog, Path output) throws IOException, InterruptedException {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.add(COLLECTORS.get(gc));
+        cmd.add("-Xms" + heap);
+        cmd.add("-Xmx" + heap);
+        if (!flags.equals("none")) {
+            cmd.addAll(Arrays.asList(flags.trim().split("\\s+")));
+        }
+        // gc+phases is needed for the ZGC pause lines, the other collectors log pauses under gc
+        cmd.add("-Xlog:gc,gc+phases:file=" + gcLog + ":tags");
+        cmd.add("-cp");
+        cmd.add(classpath);
+        cmd.addAll(workload);
+
+        ProcessBuilder pb = new ProcessBuilder(cmd)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile());
+        if (stdin == null) {
+            pb.redirectInput(ProcessBuilder.Redirect.INHERIT);
+        }
+
+        long start = System.nanoTime();
+        Process process = pb.start();
+        if (stdin != null) {
+            try (Writer w = new OutputStreamWriter(process.getOutputStream())) {
+                w.write(stdin + System.lineSeparator());
+            }
+        }
+
+        // Poll the high-water mark while the child is alive; it is gone once the process exits
+        Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+        long peakRssKb = -1;
+        while (!process.waitFor(10, TimeUnit.MILLISECONDS)) {
+            peakRssKb = Math.max(peakRssKb, readPeakRss(status));
+        }
+        long end = System.nanoTime();
+
+        Result r = new Result(gc, heap, flags);
+        r.exitCode = process.exitValue();
+        r.elapsedMs = (end - start) / 1_000_000.0;
+        r.peakRssKb = peakRssKb;
+        r.pauses = readPauses(gcLog);
+        r.output = output;
+        return r;
+    }
+
+    private static long readPeakRss(Path status) {
+        try {
+            for (String line : Files.readAllLines(status)) {
+                Matcher m = VM_HWM.matcher(line);
+                if (m.find()) return Long.parseLong(m.group(1));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // not on Linux, or the process has just exited
+        }
+        return -1;
+    }
+
+    private static double[] readPauses(Path gcLog) throws IOException {
+        if (!Files.exists(gcLog)) return new double[0];
+        List<Double> pauses = new ArrayList<>();
+        for (String line : Files.readAllLines(gcLog)) {
+            Matcher m = PAUSE.matcher(line);
+            if (m.find()) {
+                pauses.add(Double.parseDouble(m.group(1).replace(',', '.')));
+            }
+        }
+        double[] sorted = pauses.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    // Nearest-rank percentile over an already sorted array
+    private static double percentile(double[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static void printReport(List<Result> results) {
+        String format = "%-9s %-6s %-30s %10s %8s %7s %9s %9s %9s %10s %5s%n";
+        System.out.println();
+        System.out.printf(format, "GC", "Heap", "Flags", "Time(ms)", "GC-thr%", "Pauses",
+                "p50(ms)", "p99(ms)", "max(ms)", "PeakRSS", "Runs");
+        for (Result r : results) {
+            if (r.failed()) {
+                System.out.printf(format, r.gc, r.heap, r.flags, "-", "-", "-", "-", "-", "-", "-", "FAILED");
+                continue;
+            }
+            System.out.printf(format, r.gc, r.heap, r.flags,
+                    String.format("%.1f", r.elapsedMs),
+                    String.format("%.2f", r.gcThroughput()),
+                    r.pauses.length,
+                    String.format("%.3f", percentile(r.pauses, 50)),
+                    String.format("%.3f", percentile(r.pauses, 99)),
+                    String.format("%.3f", percentile(r.pauses, 100)),
+                    r.peakRssKb < 0 ? "n/a" : (r.peakRssKb / 1024) + " MB",
+                    r.okRuns + "/" + r.totalRuns);
+        }
+        for (Result r : results) {
+            if (r.lastFailed != null) {
+                System.out.printf("%s, heap %s, flags %s: %d of %d runs failed (exit %d), see %s%n",
+                        r.gc, r.heap, r.flags, r.totalRuns - r.okRuns, r.totalRuns,
+                        r.lastFailed.exitCode, r.lastFailed.output);
+            }
+        }
+    }
+
+    private static void writeCsv(List<Result> results, String path) throws IOException {
+        try (PrintWriter pw = new PrintWriter(new FileWriter(path))) {
+            pw.println("gc,heap,flags,elapsed_ms,gc_throughput_pct,pauses,p50_ms,p99_ms,max_ms,peak_rss_kb,exit_code,ok_runs,runs");
+            for (Result r : results) {
+                pw.printf(Locale.ROOT, "%s,%s,\"%s\",%.1f,%.2f,%d,%.3f,%.3f,%.3f,%d,%d,%d,%d%n",
+                        r.gc, r.heap, r.flags, r.elapsedMs, r.gcThroughput(), r.pauses.length,
+                        percentile(r.pauses, 50), percentile(r.pauses, 99), percentile(r.pauses, 100),
+                        r.peakRssKb, r.exitCode, r.okRuns, r.totalRuns);
+            }
+        }
+    }
+
+    private static List<String> split(String value) {
+        List<String> list = new ArrayList<>();
+        for (String s : value.split(",")) {
+            if (!s.trim().isEmpty()) list.add(s.trim());
+        }
+        return list;
+    }
+
+    private static int parseRuns(String value) {
+        int runs = 0;
+        try {
+            runs = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            usage("--runs must be a number");
+        }
+        if (runs < 1) usage("--runs must be at least 1");
+        return runs;
+    }
+
+    private static void usage(String message) {
+        System.err.println(message);
+        System.err.println("Usage: java -cp out jvmperf.GcMatrix [--cp <classpath>] [--gcs G1,Z,Parallel,Serial]"
+                + " [--heaps 256m,1g] [--flags none,-XX:-UseCompressedOops] [--runs 3] [--stdin <text>]"
+                + " [--logs <dir>] [--out report.csv] <mainClass> [args...]");
+        System.exit(2);
+    }
+
+    // One child JVM run
+    static class Result {
+        final String gc;
+        final String heap;
+        final String flags;
+        double elapsedMs;
+        double[] pauses;
+        long peakRssKb;
+        int exitCode;
+        Path output;
+        int okRuns;
+        int totalRuns;
+        Result lastFailed;
+
+        Result(String gc, String heap, String flags) {
+            this.gc = gc;
+            this.heap = heap;
+            this.flags = flags;
+        }
+
+        // The reported run of a cell only has a non-zero exit code when every run failed
+        boolean failed() {
+            return exitCode != 0;
+        }
+
+        // Share of wall-clock time not spent in stop-the-world pauses
+        double gcThroughput() {
+            double paused = 0;
+            for (double p : pauses) paused += p;
+            return elapsedMs <= 0 ? 0 : 100.0 * (elapsedMs - paused) / elapsedMs;
+        }
+    }
+}